@@ -0,0 +1,204 @@
+package dev.rafiattaa.astar;
+
+import java.util.*;
+
+/**
+ * A path stored as its start cell plus one direction byte per move, instead of one Point per step.
+ * Points are only created when the path is actually walked through {@link #asList()} or {@link #waypoints()}.
+ * Direction bytes index the same 8-directional dx/dy tables used by the A* engines.
+ */
+public class CompactPath {
+    static final int[] DX = {-1, 1, 0, 0, -1, -1, 1, 1};
+    static final int[] DY = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    // Maps (dx + 1) * 3 + (dy + 1) back to a direction index, -1 for the zero move
+    private static final byte[] DIRECTION_OF = new byte[9];
+
+    static {
+        Arrays.fill(DIRECTION_OF, (byte) -1);
+        for (int i = 0; i < DX.length; i++) {
+            DIRECTION_OF[(DX[i] + 1) * 3 + (DY[i] + 1)] = (byte) i;
+        }
+    }
+
+    private static final CompactPath NOT_FOUND = new CompactPath(false, 0, 0, new byte[0], -1, 0);
+
+    private final boolean found;
+    private final int startX, startY;
+    private final int endX, endY;
+    private final byte[] moves;
+    private final double cost;
+    private final int nodesExpanded;
+
+    // Only the engines build paths; they hand over a fresh array of valid direction bytes and never touch it again
+    CompactPath(int startX, int startY, byte[] moves, double cost, int nodesExpanded) {
+        this(true, startX, startY, moves, cost, nodesExpanded);
+    }
+
+    private CompactPath(boolean found, int startX, int startY, byte[] moves, double cost, int nodesExpanded) {
+        this.found = found;
+        this.startX = startX;
+        this.startY = startY;
+        this.moves = moves;
+        this.cost = cost;
+        this.nodesExpanded = nodesExpanded;
+
+        int x = startX, y = startY;
+        for (byte move : moves) {
+            x += DX[move];
+            y += DY[move];
+        }
+        this.endX = x;
+        this.endY = y;
+    }
+
+    /**
+     * @return the shared instance returned when no path exists
+     */
+    public static CompactPath notFound() {
+        return NOT_FOUND;
+    }
+
+    // A failed search still reports how much work it did
+    static CompactPath notFound(int nodesExpanded) {
+        return nodesExpanded == 0 ? NOT_FOUND : new CompactPath(false, 0, 0, new byte[0], -1, nodesExpanded);
+    }
+
+    /**
+     * Direction index of a single step, for building move arrays from parent links.
+     */
+    static byte directionOf(int stepX, int stepY) {
+        return DIRECTION_OF[(stepX + 1) * 3 + (stepY + 1)];
+    }
+
+    public boolean isEmpty() {
+        return !found;
+    }
+
+    /**
+     * @return number of moves in the path, one less than the number of points
+     */
+    public int moveCount() {
+        return moves.length;
+    }
+
+    /**
+     * @return number of points in the path, 0 if no path was found
+     */
+    public int size() {
+        return found ? moves.length + 1 : 0;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return nodes the search closed while producing this result, 0 if the producer did not count them
+     */
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public Point getStart() {
+        return found ? new Point(startX, startY) : null;
+    }
+
+    public Point getEnd() {
+        return found ? new Point(endX, endY) : null;
+    }
+
+    /**
+     * @return direction index of the given move
+     */
+    public int moveAt(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Read-only list view over the path points. Iteration is O(1) per step;
+     * {@code get(i)} replays the first i moves.
+     */
+    public List<Point> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Point get(int index) {
+                Objects.checkIndex(index, size());
+                int x = startX, y = startY;
+                for (int i = 0; i < index; i++) {
+                    x += DX[moves[i]];
+                    y += DY[moves[i]];
+                }
+                return new Point(x, y);
+            }
+
+            @Override
+            public int size() {
+                return CompactPath.this.size();
+            }
+
+            @Override
+            public Iterator<Point> iterator() {
+                return new Iterator<>() {
+                    private int next = 0; // index of the next point to return
+                    private int x = startX, y = startY;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < CompactPath.this.size();
+                    }
+
+                    @Override
+                    public Point next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        if (next > 0) {
+                            x += DX[moves[next - 1]];
+                            y += DY[moves[next - 1]];
+                        }
+                        next++;
+                        return new Point(x, y);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Iterates the start, every point where the direction of travel changes, and the end.
+     */
+    public Iterator<Point> waypoints() {
+        return new Iterator<>() {
+            private int move = 0; // index of the next move to replay
+            private int x = startX, y = startY;
+            private boolean startReturned = !found;
+
+            @Override
+            public boolean hasNext() {
+                return !startReturned || move < moves.length;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (!startReturned) {
+                    startReturned = true;
+                    return new Point(x, y);
+                }
+                // Replay the current straight run, stopping where the next move turns
+                byte direction = moves[move];
+                do {
+                    x += DX[direction];
+                    y += DY[direction];
+                    move++;
+                } while (move < moves.length && moves[move] == direction);
+                return new Point(x, y);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (!found) return "[]";
+        return "CompactPath{" + getStart() + " -> " + getEnd() + ", moves=" + moves.length + ", cost=" + cost + "}";
+    }
+}
@@ -0,0 +1,260 @@
+package dev.rafiattaa.astar;
+
+import dev.rafiattaa.metrics.PathSearchEvent;
+import dev.rafiattaa.metrics.Telemetry;
+import dev.rafiattaa.util.LongMinHeap;
+
+import java.util.*;
+
+/**
+ * A* variant that keeps g and f as scaled integers instead of doubles.
+ * Straight moves cost 1000 and diagonal moves cost 1414 (sqrt(2) truncated to three places),
+ * and the heuristic is the matching integer octile distance, so no floating point math
+ * happens inside the search loop. Path costs are exact in these units and within 0.02%
+ * of the true Euclidean cost. Costs are longs, so paths of millions of steps do not overflow.
+ */
+public class FixedPointAStar implements GridPathfinder {
+    private final int[][] grid;
+    private final int rows, cols;
+    private final boolean allowCornerCutting;
+    private static final int[] dx = {-1, 1, 0, 0, -1, -1, 1, 1}; // 8-directional movement
+    private static final int[] dy = {0, 0, -1, 1, -1, 1, -1, 1};
+    public static final int STRAIGHT_COST = 1000;
+    public static final int DIAGONAL_COST = 1414;
+    private static final long UNSEEN = Long.MAX_VALUE;
+
+    // Open list keys are (f << cellBits | cell); cellBits is just wide enough for the largest cell index
+    private final int cellBits;
+    private final long cellMask;
+
+    private long lastPathCost = -1;
+
+    /**
+     * Allows corner cutting.
+     * @throws IllegalArgumentException if the grid is too large, see {@link #FixedPointAStar(int[][], boolean)}
+     */
+    public FixedPointAStar(int[][] grid) {
+        this(grid, true);
+    }
+
+    /**
+     * @param allowCornerCutting whether a diagonal step may pass a blocked corner; when false a diagonal
+     *                           needs both orthogonal neighbours free, as Moving AI benchmark costs assume
+     * @throws IllegalArgumentException if the grid is so large that the worst-case f cost
+     *                                  cannot be packed next to a cell index in one long
+     */
+    public FixedPointAStar(int[][] grid, boolean allowCornerCutting) {
+        this.grid = grid;
+        this.allowCornerCutting = allowCornerCutting;
+        this.rows = grid.length;
+        this.cols = grid[0].length;
+
+        long cellCount = (long) rows * cols;
+        if (cellCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid has " + cellCount + " cells, at most "
+                    + Integer.MAX_VALUE + " are supported");
+        }
+        this.cellBits = Math.max(1, 64 - Long.numberOfLeadingZeros(cellCount - 1));
+        this.cellMask = (1L << cellBits) - 1;
+
+        // A path visits each cell at most once, so g stays below one diagonal step per cell
+        long worstF = cellCount * DIAGONAL_COST + octileHeuristic(0, 0, rows - 1, cols - 1);
+        if (worstF >= 1L << (63 - cellBits)) {
+            throw new IllegalArgumentException("grid " + rows + "x" + cols
+                    + " is too large for packed fixed-point costs");
+        }
+    }
+
+    @Override
+    public List<Point> findPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        int[] cameFrom = new int[rows * cols];
+        long cost = search(startX, startY, goalX, goalY, cameFrom, stats);
+        lastPathCost = cost;
+        List<Point> path = (cost < 0)
+                ? new ArrayList<>() // Return empty path if invalid or unreachable
+                : reconstructPath(cameFrom, goalX * cols + goalY, startX * cols + startY);
+        Telemetry.endPathSearch(event, "FixedPointAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    /**
+     * Same search as {@link #findPath}, but returns the path as direction bytes
+     * without allocating a Point per step. The cost is reported in grid units.
+     */
+    @Override
+    public CompactPath findCompactPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        int[] cameFrom = new int[rows * cols];
+        long cost = search(startX, startY, goalX, goalY, cameFrom, stats);
+        lastPathCost = cost;
+        CompactPath path = (cost < 0)
+                ? CompactPath.notFound(stats.nodesExpanded)
+                : reconstructCompactPath(cameFrom, goalX * cols + goalY, startX * cols + startY, cost, stats.nodesExpanded);
+        Telemetry.endPathSearch(event, "FixedPointAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    // Runs the search, filling cameFrom, and returns the goal's fixed-point g cost or -1 if there is no path
+    private long search(int startX, int startY, int goalX, int goalY, int[] cameFrom, SearchStats stats) {
+
+        // Validate start and goal positions
+        if (!isValid(startX, startY) || !isValid(goalX, goalY) ||
+                grid[startX][startY] == 1 || grid[goalX][goalY] == 1) {
+            return -1;
+        }
+
+        // Cells are addressed as x * cols + y so every per-cell table is a flat array
+        int cellCount = rows * cols;
+        long[] gCost = new long[cellCount];
+        boolean[] closed = new boolean[cellCount];
+        Arrays.fill(gCost, UNSEEN);
+
+        // Open list keys pack f above the cell index, so ordering the longs orders by f
+        LongMinHeap openSet = new LongMinHeap(Math.max(rows, cols) * 4);
+
+        int startCell = startX * cols + startY;
+        int goalCell = goalX * cols + goalY;
+        gCost[startCell] = 0;
+        cameFrom[startCell] = startCell;
+        openSet.add(pack(octileHeuristic(startX, startY, goalX, goalY), startCell));
+
+        while (!openSet.isEmpty()) {
+            int currentCell = (int) (openSet.poll() & cellMask);
+
+            // Stale entry left behind by a cheaper re-insertion
+            if (closed[currentCell]) continue;
+
+            // Check if we reached the goal
+            if (currentCell == goalCell) {
+                return gCost[goalCell];
+            }
+
+            closed[currentCell] = true;
+            stats.nodesExpanded++;
+            int cx = currentCell / cols;
+            int cy = currentCell - cx * cols;
+            long currentG = gCost[currentCell];
+
+            // Explore neighbors
+            for (int i = 0; i < dx.length; i++) {
+                int nx = cx + dx[i];
+                int ny = cy + dy[i];
+
+                // Skip if out of bounds or obstacle
+                if (!isValid(nx, ny) || grid[nx][ny] == 1) {
+                    continue;
+                }
+
+                // Without corner cutting a diagonal needs both cells it squeezes between to be free
+                if (i >= 4 && !allowCornerCutting && (grid[nx][cy] == 1 || grid[cx][ny] == 1)) {
+                    continue;
+                }
+
+                int neighborCell = nx * cols + ny;
+                if (closed[neighborCell]) {
+                    continue;
+                }
+
+                // The first four directions are straight, the last four diagonal
+                long tentativeGCost = currentG + (i < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+
+                if (tentativeGCost < gCost[neighborCell]) {
+                    gCost[neighborCell] = tentativeGCost;
+                    cameFrom[neighborCell] = currentCell;
+                    // Lazy decrease-key: the old entry is skipped when it surfaces
+                    openSet.add(pack(tentativeGCost + octileHeuristic(nx, ny, goalX, goalY), neighborCell));
+                }
+            }
+        }
+
+        return -1; // No path found
+    }
+
+    /**
+     * Convenience for single-threaded callers. Not thread-safe: when one instance is shared between
+     * threads this may hold another thread's result; use {@link CompactPath#getCost()} instead.
+     * @return cost of the last path found in fixed-point units, or -1 if the last search found none
+     */
+    public long getLastPathCost() {
+        return lastPathCost;
+    }
+
+    /**
+     * Integer octile distance: diagonal steps cover the shorter axis, straight steps the rest.
+     */
+    public static long octileHeuristic(int x1, int y1, int x2, int y2) {
+        long ax = Math.abs(x2 - x1);
+        long ay = Math.abs(y2 - y1);
+        long diagonal = Math.min(ax, ay);
+        return STRAIGHT_COST * (ax + ay) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * diagonal;
+    }
+
+    /**
+     * Converts a fixed-point cost back to grid units.
+     */
+    public static double toGridUnits(long fixedPointCost) {
+        return fixedPointCost / (double) STRAIGHT_COST;
+    }
+
+    private long pack(long fCost, int cell) {
+        return (fCost << cellBits) | cell;
+    }
+
+    private boolean isValid(int x, int y) {
+        return x >= 0 && x < rows && y >= 0 && y < cols;
+    }
+
+    private List<Point> reconstructPath(int[] cameFrom, int goalCell, int startCell) {
+        List<Point> path = new ArrayList<>();
+        int currentCell = goalCell;
+
+        while (currentCell != startCell) {
+            path.add(new Point(currentCell / cols, currentCell % cols));
+            currentCell = cameFrom[currentCell];
+        }
+
+        path.add(new Point(startCell / cols, startCell % cols)); // Add start point
+        Collections.reverse(path); // Reverse to get path from start to goal
+        return path;
+    }
+
+    private CompactPath reconstructCompactPath(int[] cameFrom, int goalCell, int startCell, long cost, int nodesExpanded) {
+        // Count first so the move array is sized exactly and filled back to front
+        int count = 0;
+        for (int cell = goalCell; cell != startCell; cell = cameFrom[cell]) {
+            count++;
+        }
+
+        byte[] moves = new byte[count];
+        int currentCell = goalCell;
+        for (int i = count - 1; i >= 0; i--) {
+            int parentCell = cameFrom[currentCell];
+            moves[i] = CompactPath.directionOf(currentCell / cols - parentCell / cols,
+                    currentCell % cols - parentCell % cols);
+            currentCell = parentCell;
+        }
+        return new CompactPath(startCell / cols, startCell % cols, moves, toGridUnits(cost), nodesExpanded);
+    }
+
+    // Example usage and testing
+    public static void main(String[] args) {
+        // Create a sample grid (0 = free, 1 = obstacle)
+        int[][] grid = {
+                {0, 0, 0, 1, 0},
+                {0, 1, 0, 1, 0},
+                {0, 1, 0, 0, 0},
+                {0, 0, 0, 1, 0},
+                {0, 0, 0, 0, 0}
+        };
+
+        FixedPointAStar aStar = new FixedPointAStar(grid);
+        List<Point> path = aStar.findPath(0, 0, 4, 4);
+        MinHeapAStar.printPath(grid, path, new Point(0, 0), new Point(4, 4), true);
+        System.out.printf("Path cost: %.3f%n", toGridUnits(aStar.getLastPathCost()));
+    }
+}
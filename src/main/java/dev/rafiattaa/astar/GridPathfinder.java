@@ -0,0 +1,13 @@
+package dev.rafiattaa.astar;
+
+import java.util.List;
+
+/**
+ * Common shape of the grid A* engines, so benchmarks and tools can run them interchangeably.
+ * Grids use 0 for free cells and 1 for obstacles, indexed as grid[x][y].
+ */
+public interface GridPathfinder {
+    List<Point> findPath(int startX, int startY, int goalX, int goalY);
+
+    CompactPath findCompactPath(int startX, int startY, int goalX, int goalY);
+}
@@ -1,33 +1,78 @@
 package dev.rafiattaa.astar;
 
+import dev.rafiattaa.metrics.PathSearchEvent;
+import dev.rafiattaa.metrics.Telemetry;
+
 import java.util.*;
 
-public class MinHeapAStar {
+public class MinHeapAStar implements GridPathfinder {
     private final int[][] grid;
     private final int rows, cols;
+    private final boolean allowCornerCutting;
     private static final int[] dx = {-1, 1, 0, 0, -1, -1, 1, 1}; // 8-directional movement
     private static final int[] dy = {0, 0, -1, 1, -1, 1, -1, 1};
     private static final double DIAGONAL_COST = Math.sqrt(2);
     private static final double STRAIGHT_COST = 1.0;
 
     public MinHeapAStar(int[][] grid) {
+        this(grid, true);
+    }
+
+    /**
+     * @param allowCornerCutting whether a diagonal step may pass a blocked corner; when false a diagonal
+     *                           needs both orthogonal neighbours free, as Moving AI benchmark costs assume
+     */
+    public MinHeapAStar(int[][] grid, boolean allowCornerCutting) {
         this.grid = grid;
+        this.allowCornerCutting = allowCornerCutting;
         this.rows = grid.length;
         this.cols = grid[0].length;
     }
 
+    @Override
     public List<Point> findPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        Map<String, Point> cameFrom = new HashMap<>();
+        Node goal = search(startX, startY, goalX, goalY, cameFrom, stats);
+        List<Point> path = (goal == null)
+                ? new ArrayList<>() // Return empty path if invalid or unreachable
+                : reconstructPath(cameFrom, goal.x, goal.y, startX, startY);
+        Telemetry.endPathSearch(event, "MinHeapAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    /**
+     * Same search as {@link #findPath}, but returns the path as direction bytes
+     * without allocating a Point per step.
+     */
+    @Override
+    public CompactPath findCompactPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        Map<String, Point> cameFrom = new HashMap<>();
+        Node goal = search(startX, startY, goalX, goalY, cameFrom, stats);
+        CompactPath path = (goal == null)
+                ? CompactPath.notFound(stats.nodesExpanded)
+                : reconstructCompactPath(cameFrom, goal, startX, startY, stats.nodesExpanded);
+        Telemetry.endPathSearch(event, "MinHeapAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    // Runs the search, filling cameFrom, and returns the goal node or null if there is no path
+    private Node search(int startX, int startY, int goalX, int goalY, Map<String, Point> cameFrom, SearchStats stats) {
         // Validate start and goal positions
         if (!isValid(startX, startY) || !isValid(goalX, goalY) ||
                 grid[startX][startY] == 1 || grid[goalX][goalY] == 1) {
-            return new ArrayList<>(); // Return empty path if invalid
+            return null;
         }
 
         PriorityQueue<Node> openSet = new PriorityQueue<>((a, b) ->
                 Double.compare(a.getFCost(), b.getFCost())); // List of all existing nodes discovered, but not checked
         Set<String> closedSet = new HashSet<>(); // already checked nodes
         Map<String, Node> allNodes = new HashMap<>();
-        Map<String, Point> cameFrom = new HashMap<>();
 
         // Initialize start node
         double StartHCost = calculateHeuristic(startX, startY, goalX, goalY);
@@ -42,10 +87,11 @@ public class MinHeapAStar {
 
             // Check if we reached the goal
             if (current.x == goalX && current.y == goalY) {
-                return reconstructPath(cameFrom, current.x, current.y, startX, startY);
+                return current;
             }
 
             closedSet.add(currentKey);
+            stats.nodesExpanded++;
 
             // Explore neighbors
             for (int i = 0; i < dx.length; i++) {
@@ -58,6 +104,11 @@ public class MinHeapAStar {
                     continue;
                 }
 
+                // Without corner cutting a diagonal needs both cells it squeezes between to be free
+                if (i >= 4 && !allowCornerCutting && (grid[nx][current.y] == 1 || grid[current.x][ny] == 1)) {
+                    continue;
+                }
+
                 // Calculate movement cost (diagonal vs straight)
                 double moveCost = (Math.abs(dx[i]) + Math.abs(dy[i]) == 2) ? DIAGONAL_COST : STRAIGHT_COST;
                 double tentativeGCost = current.gCost + moveCost;
@@ -85,7 +136,7 @@ public class MinHeapAStar {
             }
         }
 
-        return new ArrayList<>(); // No path found
+        return null; // No path found
     }
 
     private boolean isValid(int x, int y) {
@@ -117,6 +168,30 @@ public class MinHeapAStar {
         return path;
     }
 
+    private CompactPath reconstructCompactPath(Map<String, Point> cameFrom, Node goal, int startX, int startY, int nodesExpanded) {
+        byte[] moves = new byte[16];
+        int count = 0;
+        int currentX = goal.x, currentY = goal.y;
+
+        while (currentX != startX || currentY != startY) {
+            Point parent = cameFrom.get(getKey(currentX, currentY));
+            if (count == moves.length) {
+                moves = Arrays.copyOf(moves, count * 2);
+            }
+            moves[count++] = CompactPath.directionOf(currentX - parent.x, currentY - parent.y);
+            currentX = parent.x;
+            currentY = parent.y;
+        }
+
+        // Moves were collected goal-first; reverse them in place
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            byte tmp = moves[i];
+            moves[i] = moves[j];
+            moves[j] = tmp;
+        }
+        return new CompactPath(startX, startY, Arrays.copyOf(moves, count), goal.gCost, nodesExpanded);
+    }
+
 
     public static void printPath(int[][] grid, List<Point> finishedPath, Point start, Point goal, boolean drawGraph) {
         if (finishedPath.isEmpty()) {
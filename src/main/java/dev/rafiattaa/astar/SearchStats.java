@@ -0,0 +1,6 @@
+package dev.rafiattaa.astar;
+
+// Counters filled in by a single search call
+class SearchStats {
+    int nodesExpanded;
+}
@@ -1,92 +1,184 @@
 package dev.rafiattaa.astar;
 
+import dev.rafiattaa.metrics.PathSearchEvent;
+import dev.rafiattaa.metrics.Telemetry;
+
 import java.util.*;
 
-public class UnorderedAStar {
+public class UnorderedAStar implements GridPathfinder {
     private final int[][] grid;
     private final int rows;
     private final int cols;
+    private final boolean allowCornerCutting;
     private static final int[] dx = {-1, 1, 0, 0, -1, -1, 1, 1}; // 8-directional movement
     private static final int[] dy = {0, 0, -1, 1, -1, 1, -1, 1};
     private static final double DIAGONAL_COST = Math.sqrt(2);
     private static final double STRAIGHT_COST = 1.0;
 
     public UnorderedAStar(int[][] grid) {
+        this(grid, true);
+    }
+
+    /**
+     * @param allowCornerCutting whether a diagonal step may pass a blocked corner; when false a diagonal
+     *                           needs both orthogonal neighbours free, as Moving AI benchmark costs assume
+     */
+    public UnorderedAStar(int[][] grid, boolean allowCornerCutting) {
         this.grid = grid;
+        this.allowCornerCutting = allowCornerCutting;
         this.rows = grid.length;
         this.cols = grid[0].length;
     }
 
+    @Override
     public List<Point> findPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        int[] cameFrom = new int[rows * cols];
+        double cost = search(startX, startY, goalX, goalY, cameFrom, stats);
+        List<Point> path = (cost < 0)
+                ? new ArrayList<>() // Return empty path if invalid or unreachable
+                : reconstructPath(cameFrom, goalX * cols + goalY, startX * cols + startY);
+        Telemetry.endPathSearch(event, "UnorderedAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    /**
+     * Same search as {@link #findPath}, but returns the path as direction bytes
+     * without allocating a Point per step.
+     */
+    @Override
+    public CompactPath findCompactPath(int startX, int startY, int goalX, int goalY) {
+        PathSearchEvent event = Telemetry.beginPathSearch();
+        SearchStats stats = new SearchStats();
+        int[] cameFrom = new int[rows * cols];
+        double cost = search(startX, startY, goalX, goalY, cameFrom, stats);
+        CompactPath path = (cost < 0)
+                ? CompactPath.notFound(stats.nodesExpanded)
+                : reconstructCompactPath(cameFrom, goalX * cols + goalY, startX * cols + startY, cost, stats.nodesExpanded);
+        Telemetry.endPathSearch(event, "UnorderedAStar", rows, cols, startX, startY, goalX, goalY,
+                stats.nodesExpanded, path.size());
+        return path;
+    }
+
+    // Runs the search, filling cameFrom, and returns the goal's g cost or -1 if there is no path
+    private double search(int startX, int startY, int goalX, int goalY, int[] cameFrom, SearchStats stats) {
         // Validate start and goal positions
         if (!isValid(startX, startY) || !isValid(goalX, goalY) ||
                 grid[startX][startY] == 1 || grid[goalX][goalY] == 1) {
-            return new ArrayList<>(); // Return empty path if invalid
+            return -1;
         }
 
-        ArrayList<Node> openSet = new ArrayList<>(); // List of all existing nodes discovered, but not checked
-        Set<String> closedSet = new HashSet<>(); // already checked nodes
-        Map<String, Node> allNodes = new HashMap<>();
-        Map<String, Point> cameFrom = new HashMap<>();
+        // Cells are addressed as x * cols + y so every per-cell table is a flat array
+        int cellCount = rows * cols;
+        double[] gCost = new double[cellCount];
+        boolean[] closed = new boolean[cellCount]; // already checked nodes
+        int[] openIndex = new int[cellCount]; // slot of the cell in the open list, -1 if not open
+        Arrays.fill(gCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(openIndex, -1);
 
-        // Initialize start node
-        double StartHCost = calculateHeuristic(startX, startY, goalX, goalY);
-        Node startNode = new Node(startX, startY, 0, StartHCost);
+        // Open list as parallel arrays: slot i holds openCell[i] with priority openF[i].
+        // Removal swaps the last slot into the hole, so the arrays stay dense for the min scan.
+        int capacity = 64;
+        int[] openCell = new int[capacity];
+        double[] openF = new double[capacity];
 
-        openSet.add(startNode);
-        allNodes.put(getKey(startX, startY), startNode);
+        // Initialize start node
+        int startCell = startX * cols + startY;
+        int goalCell = goalX * cols + goalY;
+        gCost[startCell] = 0;
+        cameFrom[startCell] = startCell;
+        openCell[0] = startCell;
+        openF[0] = calculateHeuristic(startX, startY, goalX, goalY);
+        openIndex[startCell] = 0;
+        int openSize = 1;
 
-        while (!openSet.isEmpty()) {
-            Node current = Collections.min(openSet);
-            String currentKey = getKey(current.x, current.y);
+        while (openSize > 0) {
+            int best = indexOfMin(openF, openSize);
+            int currentCell = openCell[best];
 
             // Check if we reached the goal
-            if (current.x == goalX && current.y == goalY) {
-                return reconstructPath(cameFrom, current.x, current.y, startX, startY);
+            if (currentCell == goalCell) {
+                return gCost[goalCell];
             }
 
-            closedSet.add(currentKey);
-            openSet.remove(current);
+            // Swap-remove the current node
+            openSize--;
+            int lastCell = openCell[openSize];
+            openCell[best] = lastCell;
+            openF[best] = openF[openSize];
+            openIndex[lastCell] = best;
+            openIndex[currentCell] = -1;
+            closed[currentCell] = true;
+            stats.nodesExpanded++;
+
+            int cx = currentCell / cols;
+            int cy = currentCell - cx * cols;
 
             // Explore neighbors
             for (int i = 0; i < dx.length; i++) {
-                int nx = current.x + dx[i];
-                int ny = current.y + dy[i];
-                String neighborKey = getKey(nx, ny);
+                int nx = cx + dx[i];
+                int ny = cy + dy[i];
 
-                // Skip if out of bounds, obstacle, or already processed
-                if (!isValid(nx, ny) || grid[nx][ny] == 1 || closedSet.contains(neighborKey)) {
+                // Skip if out of bounds or obstacle
+                if (!isValid(nx, ny) || grid[nx][ny] == 1) {
+                    continue;
+                }
+
+                // Without corner cutting a diagonal needs both cells it squeezes between to be free
+                if (i >= 4 && !allowCornerCutting && (grid[nx][cy] == 1 || grid[cx][ny] == 1)) {
+                    continue;
+                }
+
+                int neighborCell = nx * cols + ny;
+                if (closed[neighborCell]) {
                     continue;
                 }
 
                 // Calculate movement cost (diagonal vs straight)
                 double moveCost = (Math.abs(dx[i]) + Math.abs(dy[i]) == 2) ? DIAGONAL_COST : STRAIGHT_COST;
-                double tentativeGCost = current.gCost + moveCost;
+                double tentativeGCost = gCost[currentCell] + moveCost;
 
-                Node neighbor = allNodes.get(neighborKey);
-                boolean isNewNode = (neighbor == null);
+                if (tentativeGCost < gCost[neighborCell]) {
+                    gCost[neighborCell] = tentativeGCost;
+                    cameFrom[neighborCell] = currentCell;
+                    double fCost = tentativeGCost + calculateHeuristic(nx, ny, goalX, goalY);
 
-                if (isNewNode || tentativeGCost < neighbor.gCost) {
-                    double NeighborHCost = calculateHeuristic(nx, ny, goalX, goalY);
-
-                    if (isNewNode) {
-                        neighbor = new Node(nx, ny, tentativeGCost, NeighborHCost);
-                        allNodes.put(neighborKey, neighbor);
-                        openSet.add(neighbor);
+                    int slot = openIndex[neighborCell];
+                    if (slot >= 0) {
+                        // Already open: update the priority in place
+                        openF[slot] = fCost;
                     } else {
-                        // Update existing node
-                        neighbor.gCost = tentativeGCost;
-                        // Remove and re-add to update priority queue ordering
-                        openSet.remove(neighbor);
-                        openSet.add(neighbor);
+                        if (openSize == capacity) {
+                            capacity *= 2;
+                            openCell = Arrays.copyOf(openCell, capacity);
+                            openF = Arrays.copyOf(openF, capacity);
+                        }
+                        openCell[openSize] = neighborCell;
+                        openF[openSize] = fCost;
+                        openIndex[neighborCell] = openSize;
+                        openSize++;
                     }
-
-                    cameFrom.put(neighborKey, new Point(current.x, current.y));
                 }
             }
         }
 
-        return new ArrayList<>(); // No path found
+        return -1; // No path found
+    }
+
+    // Two flat passes instead of one argmin loop: a plain min reduction the JIT can vectorize,
+    // then a search for the first slot holding that value
+    private static int indexOfMin(double[] values, int size) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        int i = 0;
+        while (values[i] != min) {
+            i++;
+        }
+        return i;
     }
 
     private boolean isValid(int x, int y) {
@@ -95,29 +187,43 @@ public class UnorderedAStar {
 
     private double calculateHeuristic(int x1, int y1, int x2, int y2) {
         // Euclidean distance
-        return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
+        int ddx = x2 - x1;
+        int ddy = y2 - y1;
+        return Math.sqrt(ddx * ddx + ddy * ddy);
     }
 
-    private String getKey(int x, int y) {
-        return x + "," + y;
-    }
-
-    private List<Point> reconstructPath(Map<String, Point> cameFrom, int goalX, int goalY, int startX, int startY) {
+    private List<Point> reconstructPath(int[] cameFrom, int goalCell, int startCell) {
         List<Point> path = new ArrayList<>();
-        int currentX = goalX, currentY = goalY;
+        int currentCell = goalCell;
 
-        while (currentX != startX || currentY != startY) {
-            path.add(new Point(currentX, currentY));
-            Point parent = cameFrom.get(getKey(currentX, currentY));
-            currentX = parent.x;
-            currentY = parent.y;
+        while (currentCell != startCell) {
+            path.add(new Point(currentCell / cols, currentCell % cols));
+            currentCell = cameFrom[currentCell];
         }
 
-        path.add(new Point(startX, startY)); // Add start point
+        path.add(new Point(startCell / cols, startCell % cols)); // Add start point
         Collections.reverse(path); // Reverse to get path from start to goal
         return path;
     }
 
+    private CompactPath reconstructCompactPath(int[] cameFrom, int goalCell, int startCell, double cost, int nodesExpanded) {
+        // Count first so the move array is sized exactly and filled back to front
+        int count = 0;
+        for (int cell = goalCell; cell != startCell; cell = cameFrom[cell]) {
+            count++;
+        }
+
+        byte[] moves = new byte[count];
+        int currentCell = goalCell;
+        for (int i = count - 1; i >= 0; i--) {
+            int parentCell = cameFrom[currentCell];
+            moves[i] = CompactPath.directionOf(currentCell / cols - parentCell / cols,
+                    currentCell % cols - parentCell % cols);
+            currentCell = parentCell;
+        }
+        return new CompactPath(startCell / cols, startCell % cols, moves, cost, nodesExpanded);
+    }
+
 
     public static void printPath(int[][] grid, List<Point> finishedPath, Point start, Point goal, boolean drawGraph) {
         if (finishedPath.isEmpty()) {
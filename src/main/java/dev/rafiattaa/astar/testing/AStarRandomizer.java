@@ -3,6 +3,7 @@ package dev.rafiattaa.astar.testing;
 import dev.rafiattaa.astar.MinHeapAStar;
 import dev.rafiattaa.astar.Point;
 import dev.rafiattaa.astar.UnorderedAStar;
+import dev.rafiattaa.metrics.Telemetry;
 
 import java.util.List;
 import java.util.Random;
@@ -46,8 +47,8 @@ public class AStarRandomizer {
         int cols = rows;
         int trials = 20;
         double obstacleChance = 0.40;
-
-        Runtime rt = Runtime.getRuntime();
+        long baseSeed = 42L; // trial t uses baseSeed + t, so runs are comparable
+        Telemetry.enableAllocationCounting();
 
         double totalTimeMinHeap = 0;
         double totalTimeUnordered = 0;
@@ -60,21 +61,21 @@ public class AStarRandomizer {
         int MinHeapFaster = 0;
 
         for (int t = 1; t <= trials; t++) {
-            AStarRandomizer a = new AStarRandomizer(rows, cols, obstacleChance);
+            AStarRandomizer a = new AStarRandomizer(rows, cols, obstacleChance, baseSeed + t);
             int[][] grid = a.generate();
             Point goalPoint = new Point(rows - 1, cols - 1);
             System.out.println("\n=== Trial " + t + " | Seed: " + a.getSeed() + " ===");
 
             // ----- MinHeapAStar -----
             MinHeapAStar minHeap = new MinHeapAStar(grid);
-            rt.gc();
-            long beforeMemMinHeap = rt.totalMemory() - rt.freeMemory();
+            // Bytes allocated by this thread, unaffected by GC timing or other threads
+            long beforeMemMinHeap = Telemetry.threadAllocatedBytes();
             long startTimeMinHeap = System.nanoTime();
 
             List<Point> minHeapPath = minHeap.findPath(0, 0, goalPoint.x, goalPoint.y);
 
             long endTimeMinHeap = System.nanoTime();
-            long afterMemMinHeap = rt.totalMemory() - rt.freeMemory();
+            long afterMemMinHeap = Telemetry.threadAllocatedBytes();
 
             double durationMsMinHeap = (endTimeMinHeap - startTimeMinHeap) / 1_000_000.0;
             long usedMemMinHeap = afterMemMinHeap - beforeMemMinHeap;
@@ -83,19 +84,18 @@ public class AStarRandomizer {
             totalMemMinHeap += usedMemMinHeap;
             if (minHeapPath.isEmpty()) noPathMinHeap++;
 
-            System.out.printf("MinHeapA* time: %.3f ms, memory: %.3f MB%n",
+            System.out.printf("MinHeapA* time: %.3f ms, allocated: %.3f MB%n",
                     durationMsMinHeap, usedMemMinHeap / (1024.0 * 1024));
 
             // ----- UnorderedAStar -----
             UnorderedAStar unordered = new UnorderedAStar(grid);
-            rt.gc();
-            long beforeMemUnordered = rt.totalMemory() - rt.freeMemory();
+            long beforeMemUnordered = Telemetry.threadAllocatedBytes();
             long startTimeUnordered = System.nanoTime();
 
             List<Point> unorderedPath = unordered.findPath(0, 0, goalPoint.x, goalPoint.y);
 
             long endTimeUnordered = System.nanoTime();
-            long afterMemUnordered = rt.totalMemory() - rt.freeMemory();
+            long afterMemUnordered = Telemetry.threadAllocatedBytes();
 
             double durationMsUnordered = (endTimeUnordered - startTimeUnordered) / 1_000_000.0;
             long usedMemUnordered = afterMemUnordered - beforeMemUnordered;
@@ -104,7 +104,7 @@ public class AStarRandomizer {
             totalMemUnordered += usedMemUnordered;
             if (unorderedPath.isEmpty()) noPathUnordered++;
 
-            System.out.printf("UnorderedA* time: %.3f ms, memory: %.3f MB%n",
+            System.out.printf("UnorderedA* time: %.3f ms, allocated: %.3f MB%n",
                     durationMsUnordered, usedMemUnordered / (1024.0 * 1024));
 
             if (durationMsUnordered > durationMsMinHeap){
@@ -116,12 +116,12 @@ public class AStarRandomizer {
 
         // ===== Averages =====
         System.out.println("\n=== AVERAGE OVER " + trials + " TRIALS ===");
-        System.out.printf("MinHeap A* - Avg Time: %.3f ms, Avg Memory: %.3f MB, No Paths: %d/%d%n",
+        System.out.printf("MinHeap A* - Avg Time: %.3f ms, Avg Allocated: %.3f MB, No Paths: %d/%d%n",
                 totalTimeMinHeap / trials,
                 totalMemMinHeap / (trials * 1024.0 * 1024),
                 noPathMinHeap, trials);
 
-        System.out.printf("Unordered A* - Avg Time: %.3f ms, Avg Memory: %.3f MB, No Paths: %d/%d%n\n",
+        System.out.printf("Unordered A* - Avg Time: %.3f ms, Avg Allocated: %.3f MB, No Paths: %d/%d%n\n",
                 totalTimeUnordered / trials,
                 totalMemUnordered / (trials * 1024.0 * 1024),
                 noPathUnordered, trials);
@@ -0,0 +1,147 @@
+package dev.rafiattaa.astar.testing;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Seeded generators for structured test maps (0 = free, 1 = obstacle). The same seed always
+ * produces the same grid, so benchmark runs can be compared with each other.
+ */
+public class MapGenerator {
+    private static final int[] dx = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] dy = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /**
+     * Perfect maze carved by an iterative depth-first search. Passages sit on odd coordinates
+     * and are one cell wide.
+     */
+    public static int[][] maze(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        int[][] grid = filled(rows, cols);
+
+        Deque<int[]> stack = new ArrayDeque<>();
+        grid[1][1] = 0;
+        stack.push(new int[]{1, 1});
+
+        while (!stack.isEmpty()) {
+            int[] cell = stack.peek();
+
+            // Collect unvisited cells two steps away in the four straight directions
+            int[] options = new int[4];
+            int optionCount = 0;
+            for (int i = 0; i < 4; i++) {
+                int nx = cell[0] + dx[i] * 2;
+                int ny = cell[1] + dy[i] * 2;
+                if (nx > 0 && nx < rows - 1 && ny > 0 && ny < cols - 1 && grid[nx][ny] == 1) {
+                    options[optionCount++] = i;
+                }
+            }
+
+            if (optionCount == 0) {
+                stack.pop();
+                continue;
+            }
+
+            int i = options[random.nextInt(optionCount)];
+            grid[cell[0] + dx[i]][cell[1] + dy[i]] = 0; // knock down the wall in between
+            grid[cell[0] + dx[i] * 2][cell[1] + dy[i] * 2] = 0;
+            stack.push(new int[]{cell[0] + dx[i] * 2, cell[1] + dy[i] * 2});
+        }
+        return grid;
+    }
+
+    /**
+     * Rectangular rooms joined in creation order by L-shaped corridors, so every room is reachable.
+     */
+    public static int[][] rooms(int rows, int cols, int roomCount, long seed) {
+        Random random = new Random(seed);
+        int[][] grid = filled(rows, cols);
+        int maxSize = Math.max(4, Math.min(rows, cols) / 6);
+
+        int prevX = -1, prevY = -1;
+        for (int r = 0; r < roomCount; r++) {
+            int height = 3 + random.nextInt(maxSize - 2);
+            int width = 3 + random.nextInt(maxSize - 2);
+            int top = 1 + random.nextInt(Math.max(1, rows - height - 2));
+            int left = 1 + random.nextInt(Math.max(1, cols - width - 2));
+
+            for (int x = top; x < Math.min(rows - 1, top + height); x++) {
+                for (int y = left; y < Math.min(cols - 1, left + width); y++) {
+                    grid[x][y] = 0;
+                }
+            }
+
+            int centerX = Math.min(rows - 2, top + height / 2);
+            int centerY = Math.min(cols - 2, left + width / 2);
+            if (prevX >= 0) {
+                carveCorridor(grid, prevX, prevY, centerX, centerY, random.nextBoolean());
+            }
+            prevX = centerX;
+            prevY = centerY;
+        }
+        return grid;
+    }
+
+    /**
+     * Cave-like map: random noise smoothed by cellular automaton steps. A cell becomes a wall when
+     * at least five of its eight neighbours are walls (the border counts as wall).
+     */
+    public static int[][] caves(int rows, int cols, double fillChance, int iterations, long seed) {
+        Random random = new Random(seed);
+        int[][] grid = new int[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                grid[i][j] = (random.nextDouble() < fillChance) ? 1 : 0;
+            }
+        }
+
+        for (int step = 0; step < iterations; step++) {
+            int[][] next = new int[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    int walls = 0;
+                    for (int d = 0; d < dx.length; d++) {
+                        int nx = i + dx[d];
+                        int ny = j + dy[d];
+                        if (nx < 0 || nx >= rows || ny < 0 || ny >= cols || grid[nx][ny] == 1) {
+                            walls++;
+                        }
+                    }
+                    next[i][j] = (walls >= 5) ? 1 : 0;
+                }
+            }
+            grid = next;
+        }
+        return grid;
+    }
+
+    private static int[][] filled(int rows, int cols) {
+        int[][] grid = new int[rows][cols];
+        for (int[] row : grid) {
+            Arrays.fill(row, 1);
+        }
+        return grid;
+    }
+
+    private static void carveCorridor(int[][] grid, int x1, int y1, int x2, int y2, boolean horizontalFirst) {
+        int cornerX = horizontalFirst ? x1 : x2;
+        int cornerY = horizontalFirst ? y2 : y1;
+        carveLine(grid, x1, y1, cornerX, cornerY);
+        carveLine(grid, cornerX, cornerY, x2, y2);
+    }
+
+    // Carves a straight horizontal or vertical line, endpoints included
+    private static void carveLine(int[][] grid, int x1, int y1, int x2, int y2) {
+        int stepX = Integer.signum(x2 - x1);
+        int stepY = Integer.signum(y2 - y1);
+        int x = x1, y = y1;
+        grid[x][y] = 0;
+        while (x != x2 || y != y2) {
+            x += stepX;
+            y += stepY;
+            grid[x][y] = 0;
+        }
+    }
+}
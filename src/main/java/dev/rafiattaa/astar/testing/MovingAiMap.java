@@ -0,0 +1,53 @@
+package dev.rafiattaa.astar.testing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Loader for Moving AI benchmark maps (.map). The header is "type", "height", "width" and "map" lines,
+ * followed by one text row per grid row. '.', 'G' and 'S' are passable; everything else ('@', 'O', 'T',
+ * 'W') is treated as an obstacle.
+ *
+ * The file's x runs along a row, so the returned grid is indexed grid[y][x] in file coordinates, which
+ * is grid[row][col] as the A* engines expect.
+ */
+public class MovingAiMap {
+
+    public static int[][] load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            int height = -1, width = -1;
+            String line;
+
+            // Header
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.equals("map")) break;
+                String[] parts = line.split("\\s+");
+                if (parts[0].equals("height")) height = Integer.parseInt(parts[1]);
+                else if (parts[0].equals("width")) width = Integer.parseInt(parts[1]);
+            }
+            if (height <= 0 || width <= 0) {
+                throw new IOException(file + ": missing height/width header");
+            }
+
+            // Rows
+            int[][] grid = new int[height][width];
+            for (int row = 0; row < height; row++) {
+                line = reader.readLine();
+                if (line == null || line.length() < width) {
+                    throw new IOException(file + ": row " + row + " is missing or shorter than " + width);
+                }
+                for (int col = 0; col < width; col++) {
+                    grid[row][col] = isPassable(line.charAt(col)) ? 0 : 1;
+                }
+            }
+            return grid;
+        }
+    }
+
+    private static boolean isPassable(char c) {
+        return c == '.' || c == 'G' || c == 'S';
+    }
+}
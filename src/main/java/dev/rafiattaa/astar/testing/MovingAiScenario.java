@@ -0,0 +1,133 @@
+package dev.rafiattaa.astar.testing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * One start/goal query with its known optimal cost, as found in Moving AI scenario files (.scen).
+ * Coordinates are stored as row/col, already swapped from the file's x/y.
+ */
+public class MovingAiScenario {
+    public final int bucket;
+    public final String mapName;
+    public final int startRow, startCol;
+    public final int goalRow, goalCol;
+    public final double optimalCost;
+
+    public MovingAiScenario(int bucket, String mapName, int startRow, int startCol,
+                            int goalRow, int goalCol, double optimalCost) {
+        this.bucket = bucket;
+        this.mapName = mapName;
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.goalRow = goalRow;
+        this.goalCol = goalCol;
+        this.optimalCost = optimalCost;
+    }
+
+    /**
+     * Reads a "version 1" scenario file. Each line is:
+     * bucket, map, map width, map height, start x, start y, goal x, goal y, optimal length.
+     */
+    public static List<MovingAiScenario> load(Path file) throws IOException {
+        List<MovingAiScenario> scenarios = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("version")) continue;
+                String[] parts = line.split("\\s+");
+                if (parts.length < 9) {
+                    throw new IOException(file + ": malformed scenario line: " + line);
+                }
+                int startX = Integer.parseInt(parts[4]);
+                int startY = Integer.parseInt(parts[5]);
+                int goalX = Integer.parseInt(parts[6]);
+                int goalY = Integer.parseInt(parts[7]);
+                scenarios.add(new MovingAiScenario(Integer.parseInt(parts[0]), parts[1],
+                        startY, startX, goalY, goalX, Double.parseDouble(parts[8])));
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Picks random reachable start/goal pairs on a grid. Optimal costs come from {@link #referenceCost},
+     * which shares no code with the engines being measured, and buckets group scenarios by cost in
+     * steps of 4 like the Moving AI sets.
+     */
+    public static List<MovingAiScenario> generate(int[][] grid, String mapName, int count, long seed,
+                                                  boolean allowCornerCutting) {
+        Random random = new Random(seed);
+        int rows = grid.length, cols = grid[0].length;
+        List<MovingAiScenario> scenarios = new ArrayList<>();
+
+        // Give up eventually on maps with almost no free space
+        for (int attempts = 0; scenarios.size() < count && attempts < count * 20; attempts++) {
+            int sr = random.nextInt(rows), sc = random.nextInt(cols);
+            int gr = random.nextInt(rows), gc = random.nextInt(cols);
+            if (grid[sr][sc] == 1 || grid[gr][gc] == 1) continue;
+
+            double cost = referenceCost(grid, sr, sc, gr, gc, allowCornerCutting);
+            if (cost < 0) continue;
+            scenarios.add(new MovingAiScenario((int) (cost / 4), mapName, sr, sc, gr, gc, cost));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Plain 8-directional Dijkstra with straight steps costing 1 and diagonals sqrt(2). It is
+     * deliberately simple and slow, since its only job is to be an oracle for the A* engines.
+     * @return the optimal cost from start to goal, or -1 if the goal is unreachable
+     */
+    public static double referenceCost(int[][] grid, int startRow, int startCol, int goalRow, int goalCol,
+                                       boolean allowCornerCutting) {
+        int rows = grid.length, cols = grid[0].length;
+        double[] dist = new double[rows * cols];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[startRow * cols + startCol] = 0;
+
+        // Entries are {distance, row, col}; stale entries are skipped when polled
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[]{0, startRow, startCol});
+
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int r = (int) entry[1], c = (int) entry[2];
+            if (entry[0] > dist[r * cols + c]) continue;
+            if (r == goalRow && c == goalCol) return entry[0];
+
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = r + dr, nc = c + dc;
+                    if ((dr == 0 && dc == 0) || nr < 0 || nr >= rows || nc < 0 || nc >= cols || grid[nr][nc] == 1) {
+                        continue;
+                    }
+                    boolean diagonal = dr != 0 && dc != 0;
+                    if (diagonal && !allowCornerCutting && (grid[nr][c] == 1 || grid[r][nc] == 1)) {
+                        continue;
+                    }
+                    double next = entry[0] + (diagonal ? Math.sqrt(2) : 1.0);
+                    if (next < dist[nr * cols + nc]) {
+                        dist[nr * cols + nc] = next;
+                        queue.add(new double[]{next, nr, nc});
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return mapName + " bucket " + bucket + ": (" + startRow + "," + startCol + ") -> ("
+                + goalRow + "," + goalCol + ") optimal " + optimalCost;
+    }
+}
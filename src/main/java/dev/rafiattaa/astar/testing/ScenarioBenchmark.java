@@ -0,0 +1,206 @@
+package dev.rafiattaa.astar.testing;
+
+import dev.rafiattaa.astar.CompactPath;
+import dev.rafiattaa.astar.FixedPointAStar;
+import dev.rafiattaa.astar.GridPathfinder;
+import dev.rafiattaa.astar.MinHeapAStar;
+import dev.rafiattaa.astar.UnorderedAStar;
+import dev.rafiattaa.metrics.LatencyRecorder;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs scenario sets against every A* engine and reports throughput, latency and path-cost correctness.
+ * Each (engine, bucket) pair is one task on a fixed pool, so buckets of all engines run in parallel.
+ * Latencies measured this way include contention between tasks; use one thread for isolated timings.
+ *
+ * The default engines run without corner cutting, the movement rule Moving AI optimal costs assume,
+ * so a result shorter or longer than the optimum is a bug either way. Generated scenarios take their
+ * optimum from {@link MovingAiScenario#referenceCost}, which is independent of every engine measured.
+ */
+public class ScenarioBenchmark {
+    // Relative tolerance; covers FixedPointAStar's rounding and the 8 decimals in .scen files
+    private static final double COST_TOLERANCE = 1e-3;
+    private static final int WARMUP_QUERIES = 20;
+
+    // Counters for one task, merged into the engine's report when the task finishes
+    private static class Tally {
+        long queries;
+        long nodesExpanded;
+        long totalNanos;
+        int matched, shorter, longer, missing;
+    }
+
+    public static class EngineReport {
+        public final String engine;
+        public final LatencyRecorder latencies = new LatencyRecorder(100_000);
+        private long queries;
+        private long nodesExpanded;
+        private long totalNanos;
+        private int matched, shorter, longer, missing;
+
+        EngineReport(String engine) {
+            this.engine = engine;
+        }
+
+        synchronized void add(Tally other) {
+            queries += other.queries;
+            nodesExpanded += other.nodesExpanded;
+            totalNanos += other.totalNanos;
+            matched += other.matched;
+            shorter += other.shorter;
+            longer += other.longer;
+            missing += other.missing;
+        }
+
+        public synchronized double expansionsPerSecond() {
+            return totalNanos == 0 ? 0 : nodesExpanded * 1_000_000_000.0 / totalNanos;
+        }
+
+        public synchronized int getLonger() {
+            return longer;
+        }
+
+        public synchronized int getMissing() {
+            return missing;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%-16s queries=%d  expansions/s=%,.0f  matched=%d shorter=%d longer=%d no-path=%d%n" +
+                            "%-16s %s",
+                    engine, queries, expansionsPerSecond(), matched, shorter, longer, missing,
+                    "", latencies.summary());
+        }
+    }
+
+    private final Map<String, Function<int[][], GridPathfinder>> engines;
+
+    public ScenarioBenchmark() {
+        this(defaultEngines(false));
+    }
+
+    /**
+     * @param engines factories keyed by display name; each task builds its own engine instance
+     */
+    public ScenarioBenchmark(Map<String, Function<int[][], GridPathfinder>> engines) {
+        this.engines = engines;
+    }
+
+    public static Map<String, Function<int[][], GridPathfinder>> defaultEngines(boolean allowCornerCutting) {
+        Map<String, Function<int[][], GridPathfinder>> engines = new LinkedHashMap<>();
+        engines.put("MinHeapAStar", grid -> new MinHeapAStar(grid, allowCornerCutting));
+        engines.put("UnorderedAStar", grid -> new UnorderedAStar(grid, allowCornerCutting));
+        engines.put("FixedPointAStar", grid -> new FixedPointAStar(grid, allowCornerCutting));
+        return engines;
+    }
+
+    public Map<String, EngineReport> run(int[][] grid, List<MovingAiScenario> scenarios, int threads) {
+        Map<Integer, List<MovingAiScenario>> buckets = new TreeMap<>();
+        for (MovingAiScenario scenario : scenarios) {
+            buckets.computeIfAbsent(scenario.bucket, b -> new ArrayList<>()).add(scenario);
+        }
+
+        Map<String, EngineReport> reports = new LinkedHashMap<>();
+        for (String name : engines.keySet()) {
+            reports.put(name, new EngineReport(name));
+        }
+
+        // Let the JIT compile each engine before anything is timed
+        List<MovingAiScenario> warmup = scenarios.subList(0, Math.min(WARMUP_QUERIES, scenarios.size()));
+        for (Function<int[][], GridPathfinder> factory : engines.values()) {
+            runBucket(factory.apply(grid), warmup, new Tally(), new LatencyRecorder(WARMUP_QUERIES));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (Map.Entry<String, Function<int[][], GridPathfinder>> engine : engines.entrySet()) {
+                EngineReport total = reports.get(engine.getKey());
+                for (List<MovingAiScenario> bucket : buckets.values()) {
+                    tasks.add(pool.submit(() -> {
+                        Tally tally = new Tally();
+                        runBucket(engine.getValue().apply(grid), bucket, tally, total.latencies);
+                        total.add(tally);
+                    }));
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("benchmark interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("benchmark task failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return reports;
+    }
+
+    private static void runBucket(GridPathfinder engine, List<MovingAiScenario> bucket,
+                                  Tally tally, LatencyRecorder latencies) {
+        for (MovingAiScenario s : bucket) {
+            long start = System.nanoTime();
+            CompactPath path = engine.findCompactPath(s.startRow, s.startCol, s.goalRow, s.goalCol);
+            long elapsed = System.nanoTime() - start;
+
+            latencies.record(elapsed);
+            tally.queries++;
+            tally.totalNanos += elapsed;
+            tally.nodesExpanded += path.getNodesExpanded();
+
+            if (path.isEmpty()) {
+                tally.missing++;
+            } else {
+                double tolerance = COST_TOLERANCE * Math.max(1.0, s.optimalCost);
+                double diff = path.getCost() - s.optimalCost;
+                if (Math.abs(diff) <= tolerance) tally.matched++;
+                else if (diff < 0) tally.shorter++;
+                else tally.longer++;
+            }
+        }
+    }
+
+    private static void printReports(String title, Map<String, EngineReport> reports) {
+        System.out.println("\n=== " + title + " ===");
+        for (EngineReport report : reports.values()) {
+            System.out.println(report);
+        }
+    }
+
+    /**
+     * With arguments {@code <file.map> <file.scen>} runs a Moving AI scenario set;
+     * without arguments runs seeded maze, rooms and cave maps.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ScenarioBenchmark benchmark = new ScenarioBenchmark();
+
+        if (args.length >= 2) {
+            int[][] grid = MovingAiMap.load(Path.of(args[0]));
+            List<MovingAiScenario> scenarios = MovingAiScenario.load(Path.of(args[1]));
+            printReports(args[0], benchmark.run(grid, scenarios, threads));
+            return;
+        }
+
+        long seed = 42L;
+        Map<String, int[][]> maps = new LinkedHashMap<>();
+        maps.put("maze 257x257", MapGenerator.maze(257, 257, seed));
+        maps.put("rooms 256x256", MapGenerator.rooms(256, 256, 40, seed));
+        maps.put("caves 256x256", MapGenerator.caves(256, 256, 0.45, 5, seed));
+
+        for (Map.Entry<String, int[][]> map : maps.entrySet()) {
+            List<MovingAiScenario> scenarios = MovingAiScenario.generate(map.getValue(), map.getKey(), 200, seed, false);
+            printReports(map.getKey() + " | seed " + seed + " | " + scenarios.size() + " scenarios",
+                    benchmark.run(map.getValue(), scenarios, threads));
+        }
+    }
+}
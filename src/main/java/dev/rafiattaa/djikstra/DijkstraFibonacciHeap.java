@@ -1,5 +1,8 @@
 package dev.rafiattaa.djikstra;
 
+import dev.rafiattaa.metrics.DijkstraSearchEvent;
+import dev.rafiattaa.metrics.Telemetry;
+
 import java.util.*;
 
 class Node {
@@ -28,8 +31,12 @@ class FibonacciHeapNode {
 }
 
 class FibonacciHeap {
+    private static final double LOG_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+
     private FibonacciHeapNode min;
     private int n;
+    // Scratch table for consolidate(), grown as the heap grows and left all-null between calls
+    private FibonacciHeapNode[] byDegree = new FibonacciHeapNode[16];
 
     public void insert(FibonacciHeapNode node) {
         if (min == null) {
@@ -47,13 +54,14 @@ class FibonacciHeap {
         FibonacciHeapNode z = min;
         if (z != null) {
             if (z.child != null) {
+                // Promote the whole child list to the root list in one splice
                 FibonacciHeapNode x = z.child;
                 do {
-                    FibonacciHeapNode next = x.right;
-                    mergeLists(min, x);
                     x.parent = null;
-                    x = next;
+                    x = x.right;
                 } while (x != z.child);
+                mergeLists(min, z.child);
+                z.child = null;
             }
             removeNode(z);
             if (z == z.right) {
@@ -81,7 +89,73 @@ class FibonacciHeap {
     }
 
     private void consolidate() {
-        // Consolidate trees of the same degree (not shown for brevity)
+        // Max degree is bounded by log_phi(n); +2 covers rounding and the node being extracted
+        int maxDegree = (int) (Math.log(n) / LOG_PHI) + 2;
+        if (byDegree.length <= maxDegree) {
+            byDegree = new FibonacciHeapNode[Math.max(maxDegree + 1, byDegree.length * 2)];
+        }
+
+        // Count the roots up front; linking rewires the root list while we walk it
+        int rootCount = 0;
+        FibonacciHeapNode w = min;
+        do {
+            rootCount++;
+            w = w.right;
+        } while (w != min);
+
+        // Link trees of the same degree until every degree is unique. Only the current root and
+        // roots already in the table get linked, so the saved next pointer stays in the root list.
+        for (int i = 0; i < rootCount; i++) {
+            FibonacciHeapNode next = w.right;
+            FibonacciHeapNode x = w;
+            int d = x.degree;
+            while (byDegree[d] != null) {
+                FibonacciHeapNode y = byDegree[d];
+                if (y.distance < x.distance) {
+                    FibonacciHeapNode tmp = x;
+                    x = y;
+                    y = tmp;
+                }
+                link(y, x);
+                byDegree[d] = null;
+                d++;
+            }
+            byDegree[d] = x;
+            w = next;
+        }
+
+        // Rebuild the root list and find the new minimum
+        min = null;
+        for (int d = 0; d < byDegree.length; d++) {
+            FibonacciHeapNode node = byDegree[d];
+            if (node == null) continue;
+            byDegree[d] = null;
+            node.left = node;
+            node.right = node;
+            if (min == null) {
+                min = node;
+            } else {
+                mergeLists(min, node);
+                if (node.distance < min.distance) {
+                    min = node;
+                }
+            }
+        }
+    }
+
+    // Makes y a child of x
+    private void link(FibonacciHeapNode y, FibonacciHeapNode x) {
+        removeNode(y);
+        y.left = y;
+        y.right = y;
+        y.parent = x;
+        if (x.child == null) {
+            x.child = y;
+        } else {
+            mergeLists(x.child, y);
+        }
+        x.degree++;
+        y.mark = false;
     }
 
     public boolean isEmpty() {
@@ -105,10 +179,79 @@ public class DijkstraFibonacciHeap {
         adjList.get(u).add(new Node(v, weight));
     }
 
-    public void dijkstra(int src) {
+    /**
+     * Result of a query: distances and predecessors for every vertex settled before the search stopped.
+     */
+    public static class ShortestPaths {
+        private final int source;
+        private final double[] dist;
+        private final int[] pred;
+        private final boolean[] settled;
+
+        ShortestPaths(int source, double[] dist, int[] pred, boolean[] settled) {
+            this.source = source;
+            this.dist = dist;
+            this.pred = pred;
+            this.settled = settled;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public boolean hasPathTo(int v) {
+            return settled[v];
+        }
+
+        /**
+         * @return the exact distance to v, or positive infinity if v was not settled
+         */
+        public double distanceTo(int v) {
+            return settled[v] ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * @return predecessor of v on its shortest path, or -1 for the source and unsettled vertices
+         */
+        public int predecessorOf(int v) {
+            return settled[v] ? pred[v] : -1;
+        }
+
+        /**
+         * @return vertices from the source to v inclusive, or an empty array if v was not settled
+         */
+        public int[] pathTo(int v) {
+            if (!settled[v]) return new int[0];
+            int length = 1;
+            for (int u = v; u != source; u = pred[u]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int u = v, i = length - 1; i >= 0; u = pred[u], i--) {
+                path[i] = u;
+            }
+            return path;
+        }
+    }
+
+    public ShortestPaths shortestPath(int src, int target) {
+        return shortestPath(src, target, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Dijkstra from src that stops as soon as the target is settled or the next vertex
+     * would be further than maxDistance. Nothing is printed.
+     * @param target vertex to stop at, or -1 to search up to the distance bound only
+     */
+    public ShortestPaths shortestPath(int src, int target, double maxDistance) {
+        DijkstraSearchEvent event = Telemetry.beginDijkstraSearch();
+        int settledCount = 0;
         double[] dist = new double[vertices];
+        int[] pred = new int[vertices];
+        boolean[] settled = new boolean[vertices];
         Arrays.fill(dist, Double.POSITIVE_INFINITY);
         dist[src] = 0;
+        pred[src] = -1;
 
         FibonacciHeap pq = new FibonacciHeap();
         pq.insert(new FibonacciHeapNode(src, 0));
@@ -117,20 +260,35 @@ public class DijkstraFibonacciHeap {
             FibonacciHeapNode minNode = pq.extractMin();
             int u = minNode.vertex;
 
+            // Improvements are inserted as new nodes, so skip the stale copies
+            if (settled[u]) continue;
+            if (minNode.distance > maxDistance) break;
+            settled[u] = true;
+            settledCount++;
+            if (u == target) break;
+
             for (Node neighbor : adjList.get(u)) {
                 int v = neighbor.vertex;
                 double weight = neighbor.distance;
 
-                if (dist[u] + weight < dist[v]) {
+                if (!settled[v] && dist[u] + weight < dist[v]) {
                     dist[v] = dist[u] + weight;
+                    pred[v] = u;
                     pq.insert(new FibonacciHeapNode(v, dist[v]));
                 }
             }
         }
 
+        Telemetry.endDijkstraSearch(event, "DijkstraFibonacciHeap", vertices, src, target, settledCount);
+        return new ShortestPaths(src, dist, pred, settled);
+    }
+
+    public void dijkstra(int src) {
+        ShortestPaths paths = shortestPath(src, -1);
+
         System.out.println("Vertex Distance from Source");
         for (int i = 0; i < vertices; i++) {
-            System.out.println(i + " \t " + dist[i]);
+            System.out.println(i + " \t " + paths.distanceTo(i));
         }
     }
 
@@ -144,5 +302,8 @@ public class DijkstraFibonacciHeap {
         graph.addEdge(3, 4, 7);
 
         graph.dijkstra(0);
+
+        ShortestPaths toFour = graph.shortestPath(0, 4);
+        System.out.println("Path 0 -> 4 (distance " + toFour.distanceTo(4) + "): " + Arrays.toString(toFour.pathTo(4)));
     }
 }
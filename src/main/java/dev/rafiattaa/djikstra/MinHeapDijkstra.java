@@ -1,12 +1,21 @@
 package dev.rafiattaa.djikstra;
 
+import dev.rafiattaa.metrics.DijkstraSearchEvent;
+import dev.rafiattaa.metrics.Telemetry;
+import dev.rafiattaa.util.LongMinHeap;
+
 import java.util.Arrays;
 import java.util.PriorityQueue;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
-class MinHeapDijkstra {
-    static class Edge{
+public class MinHeapDijkstra {
+    public static class Edge{
         int to, weight;
         public Edge(int to, int weight) {
             this.to = to;
@@ -27,15 +36,88 @@ class MinHeapDijkstra {
     }
 
     public static int[] dijkstra (List<List<Edge>> graph,int source){
+        // With no target and no bound every reachable vertex is settled, so dist is final
+        return shortestPath(graph, source, -1).dist;
+    }
+
+    /**
+     * Result of a point-to-point query: distances and predecessors for every vertex settled before the search stopped.
+     */
+    public static class ShortestPaths {
+        private final int source;
+        private final int[] dist;
+        private final int[] pred;
+        private final boolean[] settled;
+
+        ShortestPaths(int source, int[] dist, int[] pred, boolean[] settled) {
+            this.source = source;
+            this.dist = dist;
+            this.pred = pred;
+            this.settled = settled;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public boolean hasPathTo(int v) {
+            return settled[v];
+        }
+
+        /**
+         * @return the exact distance to v, or Integer.MAX_VALUE if v was not settled
+         */
+        public int distanceTo(int v) {
+            return settled[v] ? dist[v] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * @return predecessor of v on its shortest path, or -1 for the source and unsettled vertices
+         */
+        public int predecessorOf(int v) {
+            return settled[v] ? pred[v] : -1;
+        }
+
+        /**
+         * @return vertices from the source to v inclusive, or an empty array if v was not settled
+         */
+        public int[] pathTo(int v) {
+            if (!settled[v]) return new int[0];
+            int length = 1;
+            for (int u = v; u != source; u = pred[u]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int u = v, i = length - 1; i >= 0; u = pred[u], i--) {
+                path[i] = u;
+            }
+            return path;
+        }
+    }
+
+    public static ShortestPaths shortestPath(List<List<Edge>> graph, int source, int target) {
+        return shortestPath(graph, source, target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Point-to-point Dijkstra that stops as soon as the target is settled or the next vertex
+     * would be further than maxDistance.
+     * @param target vertex to stop at, or -1 to search up to the distance bound only
+     */
+    public static ShortestPaths shortestPath(List<List<Edge>> graph, int source, int target, int maxDistance) {
+        DijkstraSearchEvent event = Telemetry.beginDijkstraSearch();
         int n = graph.size();
+        int settledCount = 0;
 
         PriorityQueue<Node> pq = new PriorityQueue<>();
 
         boolean[] visited = new boolean[n];
         int[] dist = new int[n];
+        int[] pred = new int[n];
 
         Arrays.fill(dist, Integer.MAX_VALUE);
         dist[source] = 0;
+        pred[source] = -1;
 
         pq.offer(new Node(source, 0));
 
@@ -43,7 +125,10 @@ class MinHeapDijkstra {
             Node current = pq.poll();
             int u = current.vertex;
             if (visited[u]) continue;
+            if (current.dist > maxDistance) break;
             visited[u] = true;
+            settledCount++;
+            if (u == target) break;
 
             for (Edge edge : graph.get(u)) {
                 int v = edge.to;
@@ -51,11 +136,116 @@ class MinHeapDijkstra {
 
                 if (!visited[v] && dist[u] + weight < dist[v]) {
                     dist[v] = dist[u] + weight;
+                    pred[v] = u;
                     pq.offer(new Node(v, dist[v]));
                 }
             }
         }
-        return dist;
+        Telemetry.endDijkstraSearch(event, "MinHeapDijkstra", n, source, target, settledCount);
+        return new ShortestPaths(source, dist, pred, visited);
+    }
+
+    /**
+     * Many-to-many shortest distances. Sources are split across {@code threads} workers, each of which
+     * reuses one set of search buffers for all of its sources, and each search stops once every target
+     * has been settled.
+     * @return flat row-major matrix where entry [i * targets.length + j] is the distance from sources[i]
+     *         to targets[j], or Integer.MAX_VALUE if unreachable
+     */
+    public static int[] distanceMatrix(List<List<Edge>> graph, int[] sources, int[] targets, int threads) {
+        int n = graph.size();
+        int[] matrix = new int[sources.length * targets.length];
+
+        // Shared, read-only target lookup
+        boolean[] isTarget = new boolean[n];
+        int distinctTargets = 0;
+        for (int t : targets) {
+            if (!isTarget[t]) {
+                isTarget[t] = true;
+                distinctTargets++;
+            }
+        }
+        final int targetCount = distinctTargets;
+
+        int workers = Math.max(1, Math.min(threads, sources.length));
+        AtomicInteger nextSource = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                tasks.add(pool.submit(() -> {
+                    SearchBuffers buffers = new SearchBuffers(n);
+                    int i;
+                    while ((i = nextSource.getAndIncrement()) < sources.length) {
+                        buffers.search(graph, sources[i], isTarget, targetCount);
+                        int row = i * targets.length;
+                        for (int j = 0; j < targets.length; j++) {
+                            matrix[row + j] = buffers.distanceTo(targets[j]);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("distance matrix interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("distance matrix search failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return matrix;
+    }
+
+    // Per-thread search state. Stamping each search with a new epoch avoids clearing arrays of size V,
+    // and the heap holds packed (dist << 32 | vertex) keys, so a warm worker allocates nothing per search.
+    private static class SearchBuffers {
+        final int[] dist;
+        final int[] reachedEpoch; // dist[v] is valid only when reachedEpoch[v] == epoch
+        final int[] settledEpoch;
+        final LongMinHeap pq;
+        int epoch = 0;
+
+        SearchBuffers(int n) {
+            dist = new int[n];
+            reachedEpoch = new int[n];
+            settledEpoch = new int[n];
+            pq = new LongMinHeap(n);
+        }
+
+        void search(List<List<Edge>> graph, int source, boolean[] isTarget, int targetCount) {
+            epoch++;
+            pq.clear();
+            int remaining = targetCount;
+
+            dist[source] = 0;
+            reachedEpoch[source] = epoch;
+            pq.add(source);
+
+            while (!pq.isEmpty() && remaining > 0) {
+                int u = (int) pq.poll(); // the low 32 bits hold the vertex
+                if (settledEpoch[u] == epoch) continue;
+                settledEpoch[u] = epoch;
+                if (isTarget[u]) remaining--;
+
+                for (Edge edge : graph.get(u)) {
+                    int v = edge.to;
+                    if (settledEpoch[v] == epoch) continue;
+                    int candidate = dist[u] + edge.weight;
+                    if (reachedEpoch[v] != epoch || candidate < dist[v]) {
+                        dist[v] = candidate;
+                        reachedEpoch[v] = epoch;
+                        pq.add((long) candidate << 32 | v);
+                    }
+                }
+            }
+        }
+
+        int distanceTo(int v) {
+            return settledEpoch[v] == epoch ? dist[v] : Integer.MAX_VALUE;
+        }
     }
 
 //    public static void printAdjMatrix(List<List<Edge>> graph) {
@@ -111,6 +301,21 @@ class MinHeapDijkstra {
         for (int i = 0; i < distances.length; i++) {
             System.out.println("To node " + i + " = " + distances[i]);
         }
+
+        // Point-to-point: stop once node 3 is settled
+        ShortestPaths toThree = shortestPath(graph, 0, 3);
+        System.out.println("\nPath 0 -> 3 (distance " + toThree.distanceTo(3) + "): " + Arrays.toString(toThree.pathTo(3)));
+
+        // Many-to-many: distances from sources {0, 4} to targets {2, 3}
+        int[] sources = {0, 4};
+        int[] targets = {2, 3};
+        int[] matrix = distanceMatrix(graph, sources, targets, 2);
+        System.out.println("\nDistance matrix:");
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < targets.length; j++) {
+                System.out.println(sources[i] + " -> " + targets[j] + " = " + matrix[i * targets.length + j]);
+            }
+        }
     }
 }
 
@@ -0,0 +1,43 @@
+package dev.rafiattaa.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR duration event covering one Dijkstra search.
+ */
+@Name("dev.rafiattaa.DijkstraSearch")
+@Label("Dijkstra Search")
+@Category("Pathfinding")
+@Description("One single-source or point-to-point Dijkstra call")
+@StackTrace(false)
+public class DijkstraSearchEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Source")
+    int source;
+
+    @Label("Target")
+    @Description("Target vertex, -1 when the whole graph or a distance bound was searched")
+    int target;
+
+    @Label("Vertices Settled")
+    int verticesSettled;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the searching thread, -1 if the JVM cannot measure it")
+    @DataAmount
+    long allocatedBytes;
+
+    // Thread allocation counter when the search began; not recorded
+    transient long allocationBaseline;
+}
@@ -0,0 +1,71 @@
+package dev.rafiattaa.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples in a fixed ring buffer and reports percentiles over them.
+ * Recording is O(1); percentiles sort a copy of the window, so call them from reporting code only.
+ */
+public class LatencyRecorder {
+    private final long[] samples; // nanoseconds
+    private int next;
+    private long count;
+
+    public LatencyRecorder(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count++;
+    }
+
+    /**
+     * @return total number of samples recorded, including ones that have left the window
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @param percentile value in [0, 100]
+     * @return the latency in milliseconds at that percentile of the current window, or 0 if empty
+     */
+    public double percentileMs(double percentile) {
+        long[] window = snapshot();
+        if (window.length == 0) return 0;
+        Arrays.sort(window);
+        return percentileMs(window, percentile);
+    }
+
+    /**
+     * Formats p50/p90/p99/max of the current window on one line.
+     */
+    public String summary() {
+        long[] window = snapshot();
+        if (window.length == 0) return "no samples";
+        Arrays.sort(window);
+        return String.format("n=%d p50=%.3f ms p90=%.3f ms p99=%.3f ms max=%.3f ms",
+                getCount(),
+                percentileMs(window, 50),
+                percentileMs(window, 90),
+                percentileMs(window, 99),
+                window[window.length - 1] / 1_000_000.0);
+    }
+
+    private synchronized long[] snapshot() {
+        int filled = (int) Math.min(count, samples.length);
+        return Arrays.copyOf(samples, filled);
+    }
+
+    // Nearest-rank percentile over an already sorted window
+    private static double percentileMs(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        int index = Math.min(Math.max(rank - 1, 0), sorted.length - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+}
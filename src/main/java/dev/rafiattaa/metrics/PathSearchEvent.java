@@ -0,0 +1,55 @@
+package dev.rafiattaa.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR duration event covering one grid A* query, from the start of the search to the finished path.
+ */
+@Name("dev.rafiattaa.PathSearch")
+@Label("Path Search")
+@Category("Pathfinding")
+@Description("One A* findPath/findCompactPath call")
+@StackTrace(false)
+public class PathSearchEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Grid Rows")
+    int gridRows;
+
+    @Label("Grid Columns")
+    int gridCols;
+
+    @Label("Start X")
+    int startX;
+
+    @Label("Start Y")
+    int startY;
+
+    @Label("Goal X")
+    int goalX;
+
+    @Label("Goal Y")
+    int goalY;
+
+    @Label("Nodes Expanded")
+    int nodesExpanded;
+
+    @Label("Path Length")
+    @Description("Number of points in the path, 0 if none was found")
+    int pathLength;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the searching thread, -1 if the JVM cannot measure it")
+    @DataAmount
+    long allocatedBytes;
+
+    // Thread allocation counter when the search began; not recorded
+    transient long allocationBaseline;
+}
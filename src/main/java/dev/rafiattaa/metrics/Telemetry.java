@@ -0,0 +1,115 @@
+package dev.rafiattaa.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Entry points the search engines call around each query. Everything is guarded by {@link #ENABLED},
+ * read once from the system property {@code -Dpathfinding.telemetry=true}; when it is off the begin
+ * methods return null without touching JFR or the allocation counters, and the JIT folds the checks away.
+ *
+ * With telemetry on, events are still only written while a JFR recording has them enabled.
+ */
+public class Telemetry {
+    public static final boolean ENABLED = Boolean.getBoolean("pathfinding.telemetry");
+
+    // Loaded on first use only, so engines running with telemetry off never touch JMX
+    private static class AllocationCounter {
+        // Null when the JVM does not expose per-thread allocation counters
+        static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+    }
+
+    private Telemetry() {
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if the JVM cannot measure it
+     *         or allocation counting is switched off (see {@link #enableAllocationCounting()})
+     */
+    public static long threadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = AllocationCounter.THREADS;
+        if (threads == null || !threads.isThreadAllocatedMemoryEnabled()) return -1;
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Turns on the JVM-wide per-thread allocation counter if it is supported but off.
+     * Called automatically when telemetry is enabled; benchmarks call it explicitly.
+     * @return whether {@link #threadAllocatedBytes()} can now report values
+     */
+    public static boolean enableAllocationCounting() {
+        com.sun.management.ThreadMXBean threads = AllocationCounter.THREADS;
+        if (threads == null) return false;
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    public static PathSearchEvent beginPathSearch() {
+        if (!ENABLED) return null;
+        PathSearchEvent event = new PathSearchEvent();
+        if (!event.isEnabled()) return null; // no recording is listening
+        event.allocationBaseline = threadAllocatedBytes();
+        event.begin();
+        return event;
+    }
+
+    public static void endPathSearch(PathSearchEvent event, String engine, int gridRows, int gridCols,
+                                     int startX, int startY, int goalX, int goalY,
+                                     int nodesExpanded, int pathLength) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.engine = engine;
+        event.gridRows = gridRows;
+        event.gridCols = gridCols;
+        event.startX = startX;
+        event.startY = startY;
+        event.goalX = goalX;
+        event.goalY = goalY;
+        event.nodesExpanded = nodesExpanded;
+        event.pathLength = pathLength;
+        event.allocatedBytes = allocatedSince(event.allocationBaseline);
+        event.commit();
+    }
+
+    public static DijkstraSearchEvent beginDijkstraSearch() {
+        if (!ENABLED) return null;
+        DijkstraSearchEvent event = new DijkstraSearchEvent();
+        if (!event.isEnabled()) return null;
+        event.allocationBaseline = threadAllocatedBytes();
+        event.begin();
+        return event;
+    }
+
+    public static void endDijkstraSearch(DijkstraSearchEvent event, String engine, int vertices,
+                                         int source, int target, int verticesSettled) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.engine = engine;
+        event.vertices = vertices;
+        event.source = source;
+        event.target = target;
+        event.verticesSettled = verticesSettled;
+        event.allocatedBytes = allocatedSince(event.allocationBaseline);
+        event.commit();
+    }
+
+    private static long allocatedSince(long baseline) {
+        if (baseline < 0) return -1;
+        return threadAllocatedBytes() - baseline;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        // Only change the JVM-wide setting when the telemetry switch asks for it
+        if (ENABLED && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+}
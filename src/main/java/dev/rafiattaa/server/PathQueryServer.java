@@ -0,0 +1,292 @@
+package dev.rafiattaa.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.rafiattaa.astar.CompactPath;
+import dev.rafiattaa.astar.FixedPointAStar;
+import dev.rafiattaa.astar.GridPathfinder;
+import dev.rafiattaa.astar.Point;
+import dev.rafiattaa.astar.testing.AStarRandomizer;
+import dev.rafiattaa.djikstra.DjikstraEdgeGenerator;
+import dev.rafiattaa.djikstra.MinHeapDijkstra;
+import dev.rafiattaa.metrics.LatencyRecorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Local HTTP server answering path and distance queries against preloaded grids and graphs.
+ * Built only on the JDK's com.sun.net.httpserver, bound to the loopback address.
+ *
+ * Endpoints (all GET, plain text responses):
+ *   /path?grid=NAME&sx=..&sy=..&gx=..&gy=..   cost on the first line, then the points
+ *   /distance?graph=NAME&src=..&dst=..        shortest distance, or -1 if unreachable
+ *   /stats                                    latency percentiles and counters
+ *
+ * Every query is queued into a {@link QueryBatcher}; a saturated queue answers 503 right away.
+ */
+public class PathQueryServer {
+    private final Map<String, GridPathfinder> grids = new ConcurrentHashMap<>();
+    private final Map<String, List<List<MinHeapDijkstra.Edge>>> graphs = new ConcurrentHashMap<>();
+    private final LatencyRecorder latencies = new LatencyRecorder(10_000);
+    // Longest a connection waits for its query before answering 503
+    private static final long QUERY_TIMEOUT_SECONDS = 30;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final QueryBatcher batcher;
+    private final HttpServer server;
+    private final ExecutorService connectionExecutor;
+
+    /**
+     * @param port          port to bind on localhost, 0 for any free port
+     * @param workerThreads size of the pool that runs the searches
+     * @param maxPending    queued queries allowed before requests are rejected
+     * @param maxBatch      largest number of queries handed to a worker at once
+     */
+    public PathQueryServer(int port, int workerThreads, int maxPending, int maxBatch) throws IOException {
+        // One thread per exchange; on JDK 21+ pass Executors.newVirtualThreadPerTaskExecutor() instead
+        this(port, workerThreads, maxPending, maxBatch, Executors.newCachedThreadPool());
+    }
+
+    public PathQueryServer(int port, int workerThreads, int maxPending, int maxBatch,
+                           ExecutorService connectionExecutor) throws IOException {
+        this.batcher = new QueryBatcher(workerThreads, maxPending, maxBatch);
+        this.connectionExecutor = connectionExecutor;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(connectionExecutor);
+        this.server.createContext("/path", this::handlePath);
+        this.server.createContext("/distance", this::handleDistance);
+        this.server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Serves the grid with {@link FixedPointAStar}, the fastest of the engines.
+     */
+    public void registerGrid(String name, int[][] grid) {
+        registerGrid(name, new FixedPointAStar(grid));
+    }
+
+    /**
+     * @param pathfinder engine answering /path for this grid; it is called from several workers at once
+     */
+    public void registerGrid(String name, GridPathfinder pathfinder) {
+        grids.put(name, pathfinder);
+    }
+
+    public void registerGraph(String name, List<List<MinHeapDijkstra.Edge>> graph) {
+        graphs.put(name, graph);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        batcher.shutdown();
+        connectionExecutor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+    private void handlePath(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange);
+        String name = params.get("grid");
+        if (name == null) {
+            send(exchange, 400, "grid is required");
+            return;
+        }
+        GridPathfinder pathfinder = grids.get(name);
+        if (pathfinder == null) {
+            send(exchange, 404, "unknown grid");
+            return;
+        }
+
+        int sx, sy, gx, gy;
+        try {
+            sx = Integer.parseInt(params.get("sx"));
+            sy = Integer.parseInt(params.get("sy"));
+            gx = Integer.parseInt(params.get("gx"));
+            gy = Integer.parseInt(params.get("gy"));
+        } catch (NumberFormatException e) {
+            send(exchange, 400, "sx, sy, gx and gy must be integers");
+            return;
+        }
+
+        runQuery(exchange, () -> {
+            CompactPath path = pathfinder.findCompactPath(sx, sy, gx, gy);
+            if (path.isEmpty()) {
+                return "-1\n";
+            }
+            StringBuilder body = new StringBuilder();
+            body.append(path.getCost()).append('\n');
+            for (Point p : path.asList()) {
+                body.append(p).append(' ');
+            }
+            return body.append('\n').toString();
+        });
+    }
+
+    private void handleDistance(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange);
+        String name = params.get("graph");
+        if (name == null) {
+            send(exchange, 400, "graph is required");
+            return;
+        }
+        List<List<MinHeapDijkstra.Edge>> graph = graphs.get(name);
+        if (graph == null) {
+            send(exchange, 404, "unknown graph");
+            return;
+        }
+
+        int src, dst;
+        try {
+            src = Integer.parseInt(params.get("src"));
+            dst = Integer.parseInt(params.get("dst"));
+        } catch (NumberFormatException e) {
+            send(exchange, 400, "src and dst must be integers");
+            return;
+        }
+        if (src < 0 || src >= graph.size() || dst < 0 || dst >= graph.size()) {
+            send(exchange, 400, "vertex out of range");
+            return;
+        }
+
+        runQuery(exchange, () -> {
+            MinHeapDijkstra.ShortestPaths paths = MinHeapDijkstra.shortestPath(graph, src, dst);
+            return (paths.hasPathTo(dst) ? paths.distanceTo(dst) : -1) + "\n";
+        });
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        send(exchange, 200, latencies.summary()
+                + "\nrejected=" + rejected.sum()
+                + "\ntimedOut=" + timedOut.sum()
+                + "\npending=" + batcher.pendingCount() + "\n");
+    }
+
+    private void runQuery(HttpExchange exchange, Supplier<String> task) throws IOException {
+        long start = System.nanoTime();
+        CompletableFuture<String> result = batcher.submit(task);
+        if (result == null) {
+            rejected.increment();
+            send(exchange, 503, "server busy");
+            return;
+        }
+
+        try {
+            String body = result.get(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            latencies.record(System.nanoTime() - start);
+            send(exchange, 200, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "interrupted");
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            timedOut.increment();
+            send(exchange, 503, "query timed out");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                rejected.increment();
+                send(exchange, 503, "server busy");
+            } else {
+                send(exchange, 500, String.valueOf(e.getCause()));
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (in) {
+            return status + " " + new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Example usage: serve a seeded grid and graph on localhost and fire concurrent queries at it
+    public static void main(String[] args) throws Exception {
+        PathQueryServer server = new PathQueryServer(0, 4, 64, 8);
+
+        int[][] grid = new AStarRandomizer(200, 200, 0.25, 42L).generate();
+        grid[0][0] = 0;
+        grid[199][199] = 0;
+        server.registerGrid("demo", grid);
+
+        int V = 5_000;
+        List<List<MinHeapDijkstra.Edge>> graph = new ArrayList<>();
+        for (int i = 0; i < V; i++) {
+            graph.add(new ArrayList<>());
+        }
+        for (int[] edge : DjikstraEdgeGenerator.generateEdges(V, 25_000, 100)) {
+            graph.get(edge[0]).add(new MinHeapDijkstra.Edge(edge[1], edge[2]));
+        }
+        server.registerGraph("demo", graph);
+
+        server.start();
+        String base = "http://localhost:" + server.getPort();
+        System.out.println("Listening on " + base);
+
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        List<Future<String>> responses = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            String url = (i % 2 == 0)
+                    ? base + "/path?grid=demo&sx=0&sy=0&gx=199&gy=199"
+                    : base + "/distance?graph=demo&src=0&dst=" + random.nextInt(V);
+            responses.add(clients.submit(() -> get(url)));
+        }
+
+        int ok = 0, busy = 0;
+        for (Future<String> response : responses) {
+            String body = response.get();
+            if (body.startsWith("200")) ok++;
+            else if (body.startsWith("503")) busy++;
+        }
+        clients.shutdown();
+
+        System.out.println("OK: " + ok + ", rejected: " + busy);
+        System.out.println(get(base + "/stats"));
+        server.stop();
+    }
+}
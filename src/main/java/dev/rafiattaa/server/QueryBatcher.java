@@ -0,0 +1,120 @@
+package dev.rafiattaa.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Collects queries from connection threads into a bounded queue and hands them to a fixed
+ * worker pool. When a backlog builds up it is split into batches of about pending / idle workers
+ * (at most maxBatch), so work is never queued behind one worker while others sit idle.
+ * When the queue is full, {@link #submit} fails immediately instead of blocking, which is how
+ * the server applies backpressure.
+ */
+class QueryBatcher {
+    private static class PendingQuery {
+        final Supplier<String> task;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        PendingQuery(Supplier<String> task) {
+            this.task = task;
+        }
+    }
+
+    private final BlockingQueue<PendingQuery> pending;
+    private final ExecutorService workers;
+    private final Semaphore batchesInFlight;
+    private final int maxBatch;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    QueryBatcher(int workerThreads, int maxPending, int maxBatch) {
+        this.pending = new ArrayBlockingQueue<>(maxPending);
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        // One permit per worker: a permit is held from before a batch is drained until it finishes,
+        // so while every worker is busy, new queries stay in pending and count toward the 503 limit
+        this.batchesInFlight = new Semaphore(workerThreads);
+        this.maxBatch = maxBatch;
+        this.dispatcher = new Thread(this::dispatchLoop, "query-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * @return a future for the query result, or null if the queue is saturated
+     */
+    CompletableFuture<String> submit(Supplier<String> task) {
+        PendingQuery query = new PendingQuery(task);
+        // Locked against shutdown so nothing can be queued after the leftovers were drained
+        synchronized (this) {
+            if (!running || !pending.offer(query)) {
+                return null;
+            }
+        }
+        return query.result;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    void shutdown() {
+        List<PendingQuery> leftovers = new ArrayList<>();
+        synchronized (this) {
+            running = false;
+            // Anything still queued will never run
+            pending.drainTo(leftovers);
+        }
+        dispatcher.interrupt();
+        workers.shutdown();
+        for (PendingQuery query : leftovers) {
+            query.result.completeExceptionally(new RejectedExecutionException("server stopped"));
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<PendingQuery> batch = new ArrayList<>();
+            try {
+                batchesInFlight.acquire();
+                batch.add(pending.take());
+                // Split the backlog evenly over idle workers; a lone query on an idle pool runs by itself
+                int idleWorkers = batchesInFlight.availablePermits() + 1;
+                int waiting = pending.size() + 1;
+                int batchSize = Math.min(maxBatch, (waiting + idleWorkers - 1) / idleWorkers);
+                pending.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                for (PendingQuery query : batch) {
+                    query.result.completeExceptionally(new RejectedExecutionException("server stopped"));
+                }
+                return;
+            }
+
+            try {
+                workers.execute(() -> runBatch(batch));
+            } catch (RejectedExecutionException e) {
+                batchesInFlight.release();
+                for (PendingQuery query : batch) {
+                    query.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void runBatch(List<PendingQuery> batch) {
+        try {
+            for (PendingQuery query : batch) {
+                // Skip queries the caller already gave up on
+                if (query.result.isDone()) continue;
+                try {
+                    query.result.complete(query.task.get());
+                } catch (RuntimeException e) {
+                    query.result.completeExceptionally(e);
+                }
+            }
+        } finally {
+            batchesInFlight.release();
+        }
+    }
+}
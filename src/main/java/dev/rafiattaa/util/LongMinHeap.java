@@ -0,0 +1,59 @@
+package dev.rafiattaa.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive longs. The searches use it as an open list by packing the priority
+ * into the high bits and the vertex or cell into the low bits, so ordering the keys orders by priority.
+ */
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int initialCapacity) {
+        this.heap = new long[Math.max(initialCapacity, 16)];
+    }
+
+    public void add(long key) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        // Sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    public long poll() {
+        long min = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        // Sift down
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return min;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the heap but keeps its backing array, so a reused heap stops allocating once it has grown.
+     */
+    public void clear() {
+        size = 0;
+    }
+}